@@ -1,9 +1,18 @@
 import untis.beans.ClassBean;
+import untis.beans.PostBean;
+import untis.beans.RoomBean;
 import untis.beans.TeacherBean;
 import untis.beans.TimeUnitBean;
+import untis.utils.PostWriter;
 import untis.utils.Utils;
 import untis.utils.WebUntis;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 import java.util.List;
 
@@ -11,33 +20,72 @@ public class WebUntisAPI {
 
     public static void main(String[] args) {
 
+        // Usage: WebUntisAPI [outputFile] [ndjson|bulk] ["dd.MM.yyyy HH:mm"]
+        Path outputPath = Path.of(args.length > 0 ? args[0] : "posts.ndjson").toAbsolutePath();
+        PostWriter.Format format = args.length > 1 && args[1].equalsIgnoreCase("bulk") ? PostWriter.Format.BULK : PostWriter.Format.NDJSON;
+
+        final long currentMillis = args.length > 2 ? Utils.parseDate(args[2]) : System.currentTimeMillis();
+        if (currentMillis == -1) {
+            System.err.println("Invalid time '" + args[2] + "', expected dd.MM.yyyy HH:mm");
+            System.exit(1);
+        }
+        final int day = Utils.toUntisDate(currentMillis);
+        final int time = Utils.toUntisTime(currentMillis);
+
         String sessionId = WebUntis.getSessionId();
+        if (sessionId == null) {
+            System.err.println("Could not authenticate against WebUntis");
+            System.exit(1);
+        }
 
+        Path tempPath = null;
+        try {
+            // Only a completely written export is moved to the output path, a failed run leaves no roster behind
+            tempPath = Files.createTempFile(outputPath.getParent(), outputPath.getFileName().toString(), ".tmp");
+            int count = export(sessionId, day, time, System.currentTimeMillis(), tempPath, format);
+            Files.move(tempPath, outputPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("Exported " + count + " posts for " + day + " " + time + " to " + outputPath + " (" + format + ")");
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            try {
+                if (tempPath != null) {
+                    Files.deleteIfExists(tempPath);
+                }
+            } catch (IOException ignored) {
+            }
+            System.exit(1);
+        }
+    }
+
+    private static int export(String sessionId, int day, int time, long createdMillis, Path path, PostWriter.Format format) throws IOException {
         List<TeacherBean> teacherList = WebUntis.getTeacherList(sessionId);
 
         HashMap<Integer, TeacherBean> teacherMap = new HashMap<>();
         teacherList.forEach(bean -> teacherMap.put(bean.getId(), bean));
 
-        List<ClassBean> classList = WebUntis.getClassList(sessionId);
+        List<RoomBean> roomList = WebUntis.getRoomList(sessionId);
 
-        for (ClassBean classBean : classList) {
-            List<TimeUnitBean> timeUnitList = WebUntis.getTimeUnitList(sessionId, classBean.getId());
+        HashMap<Integer, RoomBean> roomMap = new HashMap<>();
+        roomList.forEach(bean -> roomMap.put(bean.getId(), bean));
 
-            final long currentMillis = Utils.parseDate("02.09.2020 11:34");
+        List<ClassBean> classList = WebUntis.getClassList(sessionId);
+
+        // Without master data every class would silently drop out of the roster
+        if (teacherList.isEmpty() || roomList.isEmpty() || classList.isEmpty()) {
+            throw new IOException("WebUntis returned no " + (teacherList.isEmpty() ? "teachers" : roomList.isEmpty() ? "rooms" : "classes"));
+        }
 
-            for (TimeUnitBean timeUnitBean : timeUnitList) {
-                final long startMillis = Utils.convertToLong(timeUnitBean.getStartTime());
-                final long endMillis = Utils.convertToLong(timeUnitBean.getEndTime());
+        try (PostWriter writer = new PostWriter(FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), format)) {
+            for (ClassBean classBean : classList) {
+                List<TimeUnitBean> timeUnitList = WebUntis.getTimeUnitList(sessionId, classBean.getId(), day);
 
-                if (currentMillis >= startMillis && currentMillis <= endMillis) {
-                    System.out.println("-------------------------------------");
-                    System.out.println("Class: " + classBean.getName() + " (Long-Name: " + classBean.getLongName() + ")");
-                    System.out.println("Time: " + Utils.beautifyTimeLong(timeUnitBean.getStartTime()) + " - " + Utils.beautifyTimeLong(timeUnitBean.getStartTime()) + " (Now: " + Utils.formatDate(currentMillis) + ")");
-                    System.out.println("Teacher: " + TimeUnitBean.parseTeacher(timeUnitBean, teacherMap));
-                    System.out.println("-------------------------------------");
+                PostBean post = PostBean.fromTimeUnits(classBean, timeUnitList, day, time, teacherMap, roomMap, createdMillis);
+                if (post != null) {
+                    writer.write(post);
                 }
             }
 
+            return writer.getCount();
         }
     }
 
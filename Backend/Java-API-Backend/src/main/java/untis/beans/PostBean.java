@@ -0,0 +1,150 @@
+package untis.beans;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class PostBean {
+
+    ClassBean classBean;
+    List<TeacherBean> teachers;
+    List<RoomBean> rooms;
+    String comment;
+    int start, end;
+    long day;
+    String status;
+    long created;
+
+    public PostBean(ClassBean classBean, List<TeacherBean> teachers, List<RoomBean> rooms, String comment, int start, int end, long day, String status, long created) {
+        this.classBean = classBean;
+        this.teachers = teachers;
+        this.rooms = rooms;
+        this.comment = comment;
+        this.start = start;
+        this.end = end;
+        this.day = day;
+        this.status = status;
+        this.created = created;
+    }
+
+    public ClassBean getClassBean() {
+        return classBean;
+    }
+
+    public List<TeacherBean> getTeachers() {
+        return teachers;
+    }
+
+    public List<RoomBean> getRooms() {
+        return rooms;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public long getDay() {
+        return day;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    /**
+     * Selects the lessons of one class the same way as timeTableWorker.js: lessons running at {@code time}
+     * or starting within 15 minutes are accepted, the first one fixes the start time and all lessons with
+     * a valid room at that start time are merged into one post.
+     *
+     * @return the post, or null if the class has no accepted lesson with a known teacher
+     */
+    public static PostBean fromTimeUnits(ClassBean classBean, List<TimeUnitBean> timeUnits, int day, int time,
+                                         HashMap<Integer, TeacherBean> teacherMap, HashMap<Integer, RoomBean> roomMap, long created) {
+        Integer acceptedTime = null;
+        List<TimeUnitBean> acceptedUnits = new ArrayList<>();
+
+        for (TimeUnitBean timeUnit : timeUnits) {
+            final int startTime = timeUnit.getStartTime();
+            final int endTime = timeUnit.getEndTime();
+
+            if ((startTime >= time && startTime - time <= 15) || (endTime > time && startTime < time)) {
+                if (acceptedTime == null && acceptedUnits.isEmpty()) {
+                    acceptedTime = startTime;
+                }
+
+                if (startTime == acceptedTime && hasValidRoom(timeUnit, roomMap)) {
+                    acceptedUnits.add(timeUnit);
+                }
+            }
+        }
+
+        Set<Integer> teachersOfLesson = new LinkedHashSet<>();
+        Set<Integer> roomsOfLesson = new LinkedHashSet<>();
+        for (TimeUnitBean timeUnit : acceptedUnits) {
+            for (int teacherId : timeUnit.getTeacherIds()) {
+                if (teacherId != 0) {
+                    teachersOfLesson.add(teacherId);
+                }
+            }
+            for (int roomId : timeUnit.getRoomsIds()) {
+                roomsOfLesson.add(roomId);
+            }
+        }
+
+        List<TeacherBean> teachers = new ArrayList<>();
+        for (int teacherId : teachersOfLesson) {
+            TeacherBean teacher = teacherMap.get(teacherId);
+            if (teacher != null) {
+                teachers.add(teacher);
+            }
+        }
+        if (teachers.isEmpty()) {
+            return null;
+        }
+
+        List<RoomBean> rooms = new ArrayList<>();
+        for (int roomId : roomsOfLesson) {
+            rooms.add(roomMap.getOrDefault(roomId, new RoomBean(roomId, String.valueOf(roomId), false, "Unbekannter Raum")));
+        }
+
+        TimeUnitBean firstUnit = acceptedUnits.get(0);
+        return new PostBean(classBean, teachers, rooms, "", firstUnit.getStartTime(), firstUnit.getEndTime(), day, "undefined", created);
+    }
+
+    /**
+     * A lesson without rooms counts as valid, otherwise at least one room must not be a distance, external
+     * or MSO room (names starting with r, l or mso, "distanz", "extern"). Rooms missing from the room list
+     * count as valid, so a class is never dropped from the roster because of unknown master data.
+     */
+    private static boolean hasValidRoom(TimeUnitBean timeUnit, HashMap<Integer, RoomBean> roomMap) {
+        if (timeUnit.getRoomsIds().length == 0) {
+            return true;
+        }
+        for (int roomId : timeUnit.getRoomsIds()) {
+            RoomBean room = roomMap.get(roomId);
+            if (room == null) {
+                return true;
+            }
+            String roomName = room.getName().toLowerCase();
+            if (!(roomName.startsWith("r") || roomName.startsWith("l") || roomName.startsWith("mso")
+                    || roomName.equals("distanz") || roomName.equals("extern"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
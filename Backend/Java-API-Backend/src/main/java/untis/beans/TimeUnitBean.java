@@ -63,13 +63,23 @@ public class TimeUnitBean {
         List<Integer> teacherIdList = new ArrayList<>();
         for(Object rawTeachers : (JSONArray) object.get("te")) {
             JSONObject teacherObject = (JSONObject) rawTeachers;
-            teacherIdList.add(Integer.valueOf(String.valueOf(teacherObject.get("id"))));
+            int teacherId = Integer.valueOf(String.valueOf(teacherObject.get("id")));
+            // Substituted teachers come with id 0 and the original teacher in "orgid"
+            if (teacherId == 0 && teacherObject.containsKey("orgid")) {
+                teacherId = Integer.valueOf(String.valueOf(teacherObject.get("orgid")));
+            }
+            teacherIdList.add(teacherId);
         }
         Integer[] teacherIds = teacherIdList.toArray(new Integer[teacherIdList.size()]);
         List<Integer> roomIdList = new ArrayList<>();
-        for(Object rawRooms : (JSONArray) object.get("te")) {
+        for(Object rawRooms : (JSONArray) object.get("ro")) {
             JSONObject roomObject = (JSONObject) rawRooms;
-            roomIdList.add(Integer.valueOf(String.valueOf(roomObject.get("id"))));
+            int roomId = Integer.valueOf(String.valueOf(roomObject.get("id")));
+            // Same precedence as timeTableWorker.js: the original room wins over a room change
+            if (roomObject.containsKey("orgid") && Integer.valueOf(String.valueOf(roomObject.get("orgid"))) != 0) {
+                roomId = Integer.valueOf(String.valueOf(roomObject.get("orgid")));
+            }
+            roomIdList.add(roomId);
         }
         Integer[] roomIds = roomIdList.toArray(new Integer[roomIdList.size()]);
 
@@ -37,13 +37,22 @@ public class ContentConst {
             "\"jsonrpc\":\"2.0\"" +
             "}";
 
+    public static final String ROOM_CONTENT =
+            "{\"id\":\"get_rooms\"," +
+            "\"method\":\"getRooms\"," +
+            "\"params\":{}," +
+            "\"jsonrpc\":\"2.0\"" +
+            "}";
+
     public static final String TIMETABLE_CONTENT =
             "{\"id\":\"req-002\"," +
             "\"method\":\"getTimetable\"," +
             "\"params\":" +
             "{" +
             "\"id\":%classId%," +
-            "\"type\":1" +
+            "\"type\":1," +
+            "\"startDate\":%date%," +
+            "\"endDate\":%date%" +
             "}," +
             "\"jsonrpc\":\"2.0\"" +
             "}";
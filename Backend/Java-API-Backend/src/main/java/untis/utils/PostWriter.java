@@ -0,0 +1,296 @@
+package untis.utils;
+
+import untis.beans.PostBean;
+import untis.beans.RoomBean;
+import untis.beans.TeacherBean;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Streams {@link PostBean}s in the document shape of the Node "Post" model
+ * (see nodeJs-Backend/models/post.js) straight into a byte channel.
+ * <p>
+ * {@link Format#NDJSON} writes one document per line, {@link Format#BULK} writes a single
+ * JSON array for one {@code Post.insertMany} call. The documents carry no {@code alert} key,
+ * the consumer has to create the Alert and set {@code post.alert} on every document before
+ * inserting, like {@code controllers/posts.js} does. The JSON is encoded directly into one
+ * reused buffer, which is only flushed to the channel when it runs full.
+ * <p>
+ * If {@link #write(PostBean)} fails, the closing {@code ]} of a BULK array is not written,
+ * so a broken export can never be read as a complete roster.
+ */
+public class PostWriter implements Closeable {
+
+    public enum Format {
+        NDJSON, BULK
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Worst case for a single char is a six byte unicode escape of a control char
+    private static final int MAX_BYTES_PER_CHAR = 6;
+    private static final int CHUNK_SIZE = BUFFER_SIZE / MAX_BYTES_PER_CHAR;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final WritableByteChannel channel;
+    private final Format format;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private int count;
+    private boolean closed;
+    private boolean failed;
+
+    // All posts of a run share the same timestamp, so it is only encoded again when it changes
+    private long createdMillis = Long.MIN_VALUE;
+    private byte[] createdBytes;
+
+    public PostWriter(WritableByteChannel channel, Format format) {
+        this.channel = channel;
+        this.format = format;
+        if (format == Format.BULK) {
+            buffer.put((byte) '[');
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void write(PostBean post) throws IOException {
+        if (closed) {
+            throw new IOException("PostWriter is already closed");
+        }
+        if (failed) {
+            throw new IOException("PostWriter failed on a previous post");
+        }
+        try {
+            writePost(post);
+        } catch (IOException | RuntimeException e) {
+            failed = true;
+            throw e;
+        }
+        count++;
+    }
+
+    private void writePost(PostBean post) throws IOException {
+        if (format == Format.BULK && count > 0) {
+            putAscii(',');
+        }
+
+        putAscii("{\"class\":{\"number\":");
+        putString(post.getClassBean().getName());
+        putAscii(",\"name\":");
+        putString(post.getClassBean().getLongName());
+
+        putAscii("},\"teachers\":[");
+        boolean first = true;
+        for (TeacherBean teacher : post.getTeachers()) {
+            if (!first) {
+                putAscii(',');
+            }
+            first = false;
+            // Same "foreName lastName" form as timeTableWorker.js, without concatenating a String
+            putAscii('"');
+            putEscaped(teacher.getForeName());
+            putAscii(' ');
+            putEscaped(teacher.getName());
+            putAscii('"');
+        }
+
+        putAscii("],\"rooms\":[");
+        first = true;
+        for (RoomBean room : post.getRooms()) {
+            if (!first) {
+                putAscii(',');
+            }
+            first = false;
+            putAscii("{\"number\":");
+            putString(room.getName());
+            putAscii(",\"name\":");
+            putString(room.getLongName());
+            putAscii('}');
+        }
+
+        putAscii("],\"comment\":");
+        putString(post.getComment());
+        putAscii(",\"start\":");
+        putLong(post.getStart());
+        putAscii(",\"end\":");
+        putLong(post.getEnd());
+        putAscii(",\"day\":");
+        putLong(post.getDay());
+        putAscii(",\"status\":");
+        putString(post.getStatus());
+
+        byte[] created = getCreatedBytes(post.getCreated());
+        putAscii(",\"created\":");
+        putBytes(created);
+        putAscii(",\"updated\":");
+        putBytes(created);
+        putAscii('}');
+
+        if (format == Format.NDJSON) {
+            putAscii('\n');
+        }
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (!failed) {
+                if (format == Format.BULK) {
+                    putAscii(']');
+                }
+                flush();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private byte[] getCreatedBytes(long millis) {
+        if (createdBytes == null || createdMillis != millis) {
+            // Mongoose casts ISO-8601 strings back into Date fields
+            createdBytes = ("\"" + Instant.ofEpochMilli(millis) + "\"").getBytes(StandardCharsets.US_ASCII);
+            createdMillis = millis;
+        }
+        return createdBytes;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void putAscii(char c) throws IOException {
+        ensureCapacity(1);
+        buffer.put((byte) c);
+    }
+
+    private void putAscii(String ascii) throws IOException {
+        ensureCapacity(ascii.length());
+        for (int i = 0; i < ascii.length(); i++) {
+            buffer.put((byte) ascii.charAt(i));
+        }
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        ensureCapacity(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private void putLong(long value) throws IOException {
+        // A long has at most 19 digits plus sign
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + (value / divisor) % 10));
+        }
+    }
+
+    private void putString(String value) throws IOException {
+        if (value == null) {
+            putAscii("null");
+            return;
+        }
+        putAscii('"');
+        putEscaped(value);
+        putAscii('"');
+    }
+
+    /**
+     * Escapes the value chunk by chunk, reserving the worst-case size of a chunk once
+     * instead of checking the buffer for every single char.
+     */
+    private void putEscaped(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        int i = 0;
+        while (i < value.length()) {
+            int chunkEnd = Math.min(value.length(), i + CHUNK_SIZE);
+            ensureCapacity((chunkEnd - i) * MAX_BYTES_PER_CHAR);
+            // A surrogate pair may reach one char past chunkEnd, its 4 bytes still fit the 6 reserved for the high surrogate
+            while (i < chunkEnd) {
+                i = putEscapedChar(value, i);
+            }
+        }
+    }
+
+    private int putEscapedChar(String value, int i) {
+        char c = value.charAt(i);
+        switch (c) {
+            case '"':
+                buffer.put((byte) '\\').put((byte) '"');
+                break;
+            case '\\':
+                buffer.put((byte) '\\').put((byte) '\\');
+                break;
+            case '\n':
+                buffer.put((byte) '\\').put((byte) 'n');
+                break;
+            case '\r':
+                buffer.put((byte) '\\').put((byte) 'r');
+                break;
+            case '\t':
+                buffer.put((byte) '\\').put((byte) 't');
+                break;
+            default:
+                if (c < 0x20) {
+                    buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0');
+                    buffer.put((byte) HEX[c >> 4]).put((byte) HEX[c & 0xF]);
+                } else if (c < 0x80) {
+                    buffer.put((byte) c);
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    putUtf8(Character.toCodePoint(c, value.charAt(i + 1)));
+                    return i + 2;
+                } else if (Character.isSurrogate(c)) {
+                    // Unpaired surrogate, replace it instead of writing invalid UTF-8
+                    putUtf8(0xFFFD);
+                } else {
+                    putUtf8(c);
+                }
+        }
+        return i + 1;
+    }
+
+    private void putUtf8(int codePoint) {
+        if (codePoint < 0x800) {
+            buffer.put((byte) (0xC0 | (codePoint >> 6)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        } else if (codePoint < 0x10000) {
+            buffer.put((byte) (0xE0 | (codePoint >> 12)));
+            buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        } else {
+            buffer.put((byte) (0xF0 | (codePoint >> 18)));
+            buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+        }
+    }
+}
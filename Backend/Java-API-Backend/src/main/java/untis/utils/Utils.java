@@ -3,9 +3,19 @@ package untis.utils;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.TimeZone;
 
 public class Utils {
 
+    // WebUntis dates and times are school local time, independent of the zone of the host running the export
+    public static final TimeZone SCHOOL_TIME_ZONE = TimeZone.getTimeZone("Europe/Berlin");
+
+    private static SimpleDateFormat createDateFormat(String pattern) {
+        SimpleDateFormat sdf = new SimpleDateFormat(pattern);
+        sdf.setTimeZone(SCHOOL_TIME_ZONE);
+        return sdf;
+    }
+
 
     private static void appendIndentedNewLine(int indentLevel, StringBuilder stringBuilder) {
         stringBuilder.append("\n");
@@ -68,14 +78,14 @@ public class Utils {
 
     public static String generateTimeString(long time) {
         String wrapped = Utils.beautifyTimeLong(time);
-        SimpleDateFormat sdf = new SimpleDateFormat("dd.MM.yyyy");
+        SimpleDateFormat sdf = createDateFormat("dd.MM.yyyy");
         Date date = new Date(System.currentTimeMillis());
         return sdf.format(date) + " " + wrapped;
     }
 
     public static long parseDate(String time) {
         try {
-            SimpleDateFormat sdf = new SimpleDateFormat("dd.MM.yyyy HH:mm");
+            SimpleDateFormat sdf = createDateFormat("dd.MM.yyyy HH:mm");
             return sdf.parse(time).getTime();
         } catch (ParseException e) {
             e.printStackTrace();
@@ -84,11 +94,21 @@ public class Utils {
     }
 
     public static String formatDate(long millis) {
-        SimpleDateFormat sdf = new SimpleDateFormat("dd.MM.yyyy HH:mm");
+        SimpleDateFormat sdf = createDateFormat("dd.MM.yyyy HH:mm");
         Date date = new Date(millis);
         return sdf.format(date);
     }
 
+    public static int toUntisDate(long millis) {
+        SimpleDateFormat sdf = createDateFormat("yyyyMMdd");
+        return Integer.parseInt(sdf.format(new Date(millis)));
+    }
+
+    public static int toUntisTime(long millis) {
+        SimpleDateFormat sdf = createDateFormat("HHmm");
+        return Integer.parseInt(sdf.format(new Date(millis)));
+    }
+
     public static long convertToLong(long time) {
         return Utils.parseDate(Utils.generateTimeString(time));
     }
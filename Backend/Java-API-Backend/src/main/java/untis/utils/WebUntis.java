@@ -10,11 +10,12 @@ import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import untis.beans.ClassBean;
+import untis.beans.RoomBean;
 import untis.beans.TeacherBean;
 import untis.beans.TimeUnitBean;
 import utils.RequestWrapper;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 
 public class WebUntis {
@@ -49,34 +50,33 @@ public class WebUntis {
         return null;
     }
 
-    public static List<TeacherBean> getTeacherList(String sessionId) {
-        List<TeacherBean> beanList = new ArrayList<>();
-        JSONObject teacherObject = RequestWrapper.getResponse(ContentConst.TEACHER_CONTENT, sessionId);
-        if (teacherObject != null && teacherObject.containsKey("result")) {
-            JSONArray jsonArray = (JSONArray) teacherObject.get("result");
-            beanList = TeacherBean.parseList(jsonArray);
-        }
-        return beanList;
+    public static List<TeacherBean> getTeacherList(String sessionId) throws IOException {
+        return TeacherBean.parseList(getResult(ContentConst.TEACHER_CONTENT, sessionId));
     }
 
-    public static List<ClassBean> getClassList(String sessionId) {
-        List<ClassBean> beanList = new ArrayList<>();
-        JSONObject teacherObject = RequestWrapper.getResponse(ContentConst.CLASS_CONTENT, sessionId);
-        if (teacherObject != null && teacherObject.containsKey("result")) {
-            JSONArray jsonArray = (JSONArray) teacherObject.get("result");
-            beanList = ClassBean.parseList(jsonArray);
-        }
-        return beanList;
+    public static List<ClassBean> getClassList(String sessionId) throws IOException {
+        return ClassBean.parseList(getResult(ContentConst.CLASS_CONTENT, sessionId));
+    }
+
+    public static List<RoomBean> getRoomList(String sessionId) throws IOException {
+        return RoomBean.parseList(getResult(ContentConst.ROOM_CONTENT, sessionId));
+    }
+
+    public static List<TimeUnitBean> getTimeUnitList(String sessionId, int classId, int date) throws IOException {
+        String content = ContentConst.TIMETABLE_CONTENT.replace("%classId%", classId + "").replace("%date%", date + "");
+        return TimeUnitBean.parseList(getResult(content, sessionId));
     }
 
-    public static List<TimeUnitBean> getTimeUnitList(String sessionId, int classId) {
-        List<TimeUnitBean> beanList = new ArrayList<>();
-        String content = ContentConst.TIMETABLE_CONTENT.replace("%classId%", classId + "");
-        JSONObject timeTableObject = RequestWrapper.getResponse(content, sessionId);
-        if (timeTableObject != null && timeTableObject.containsKey("result") && !((JSONArray) timeTableObject.get("result")).isEmpty()) {
-            JSONArray jsonArray = (JSONArray) timeTableObject.get("result");
-            beanList = TimeUnitBean.parseList(jsonArray);
+    /**
+     * An empty result is a valid answer, a response without "result" means the request or WebUntis failed
+     * (RequestWrapper answers failed requests with an empty object) and must not be mistaken for "no data".
+     */
+    private static JSONArray getResult(String content, String sessionId) throws IOException {
+        JSONObject response = RequestWrapper.getResponse(content, sessionId);
+        if (response == null || !(response.get("result") instanceof JSONArray)) {
+            Object error = response != null ? response.get("error") : null;
+            throw new IOException("WebUntis request failed: " + (error != null ? error : "no result"));
         }
-        return beanList;
+        return (JSONArray) response.get("result");
     }
-}
\ No newline at end of file
+}
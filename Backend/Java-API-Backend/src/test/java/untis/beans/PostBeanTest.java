@@ -0,0 +1,114 @@
+package untis.beans;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PostBeanTest {
+
+    private static final int DAY = 20200902;
+    private static final ClassBean CLASS = new ClassBean(1, "10A", true, "Klasse 10A");
+
+    private static HashMap<Integer, TeacherBean> createTeacherMap() {
+        HashMap<Integer, TeacherBean> teacherMap = new HashMap<>();
+        teacherMap.put(1, new TeacherBean(1, "AA", "Anna", "Alt"));
+        teacherMap.put(2, new TeacherBean(2, "BB", "Bert", "Bau"));
+        teacherMap.put(3, new TeacherBean(3, "CC", "Cem", "Cay"));
+        return teacherMap;
+    }
+
+    private static HashMap<Integer, RoomBean> createRoomMap() {
+        HashMap<Integer, RoomBean> roomMap = new HashMap<>();
+        roomMap.put(10, new RoomBean(10, "A101", true, "Raum A101"));
+        roomMap.put(11, new RoomBean(11, "B202", true, "Raum B202"));
+        roomMap.put(20, new RoomBean(20, "R5", true, "Werkstatt"));
+        roomMap.put(21, new RoomBean(21, "L1", true, "Labor"));
+        roomMap.put(22, new RoomBean(22, "MSO1", true, "MSO"));
+        roomMap.put(23, new RoomBean(23, "Distanz", true, "Distanz"));
+        roomMap.put(24, new RoomBean(24, "Extern", true, "Extern"));
+        return roomMap;
+    }
+
+    private static TimeUnitBean createLesson(int startTime, int endTime, Integer[] teacherIds, Integer... roomIds) {
+        return new TimeUnitBean(DAY, new Integer[]{CLASS.getId()}, teacherIds, roomIds, startTime, endTime, "Unterricht");
+    }
+
+    private static PostBean select(int time, TimeUnitBean... lessons) {
+        return PostBean.fromTimeUnits(CLASS, List.of(lessons), DAY, time, createTeacherMap(), createRoomMap(), 0L);
+    }
+
+    @Test
+    public void acceptsRunningLesson() {
+        PostBean post = select(1000, createLesson(945, 1030, new Integer[]{1}, 10));
+        assertNotNull(post);
+        assertEquals(945, post.getStart());
+        assertEquals(1030, post.getEnd());
+        assertEquals(DAY, post.getDay());
+        assertEquals("Anna", post.getTeachers().get(0).getForeName());
+        assertEquals("A101", post.getRooms().get(0).getName());
+    }
+
+    @Test
+    public void acceptsLessonStartingWithinFifteenMinutes() {
+        assertEquals(1015, select(1000, createLesson(1015, 1100, new Integer[]{1}, 10)).getStart());
+        assertNull(select(1000, createLesson(1016, 1100, new Integer[]{1}, 10)));
+    }
+
+    @Test
+    public void ignoresFinishedLesson() {
+        assertNull(select(1000, createLesson(900, 945, new Integer[]{1}, 10)));
+    }
+
+    @Test
+    public void mergesLessonsWithSameStartTime() {
+        PostBean post = select(1000,
+                createLesson(945, 1030, new Integer[]{1}, 10),
+                createLesson(945, 1030, new Integer[]{2, 1}, 11),
+                createLesson(1010, 1100, new Integer[]{3}, 10));
+        assertEquals(List.of("Anna", "Bert"), post.getTeachers().stream().map(TeacherBean::getForeName).toList());
+        assertEquals(List.of("A101", "B202"), post.getRooms().stream().map(RoomBean::getName).toList());
+    }
+
+    @Test
+    public void dropsLessonsWithoutValidRoom() {
+        assertNull(select(1000, createLesson(945, 1030, new Integer[]{1}, 20, 21, 22, 23, 24)));
+
+        PostBean post = select(1000,
+                createLesson(945, 1030, new Integer[]{1}, 20),
+                createLesson(945, 1030, new Integer[]{2}, 23, 10));
+        assertEquals(List.of("Bert"), post.getTeachers().stream().map(TeacherBean::getForeName).toList());
+    }
+
+    @Test
+    public void acceptsLessonWithoutRooms() {
+        assertNotNull(select(1000, createLesson(945, 1030, new Integer[]{1})));
+    }
+
+    @Test
+    public void keepsLessonWithUnknownRoom() {
+        PostBean post = select(1000, createLesson(945, 1030, new Integer[]{1}, 99));
+        assertNotNull(post);
+        assertEquals("99", post.getRooms().get(0).getName());
+    }
+
+    @Test
+    public void usesSubstitutedTeacherFromOrgId() {
+        // id 0 with orgid 2 is resolved by TimeUnitBean.parse
+        TimeUnitBean lesson = TimeUnitBean.parse(TimeUnitBeanTest.createLessonObject(
+                TimeUnitBeanTest.createElement(0L, 2L), TimeUnitBeanTest.createElement(10L, null)));
+        PostBean post = PostBean.fromTimeUnits(CLASS, List.of(lesson), DAY, 1000, createTeacherMap(), createRoomMap(), 0L);
+        assertEquals("Bert", post.getTeachers().get(0).getForeName());
+    }
+
+    @Test
+    public void createsNoPostWithoutTeacher() {
+        assertNull(select(1000, createLesson(945, 1030, new Integer[]{0}, 10)));
+        assertNull(select(1000, createLesson(945, 1030, new Integer[]{}, 10)));
+        assertNull(select(1000, createLesson(945, 1030, new Integer[]{42}, 10)));
+    }
+}
@@ -0,0 +1,75 @@
+package untis.beans;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TimeUnitBeanTest {
+
+    @SuppressWarnings("unchecked")
+    static JSONObject createElement(Long id, Long orgId) {
+        JSONObject element = new JSONObject();
+        element.put("id", id);
+        if (orgId != null) {
+            element.put("orgid", orgId);
+        }
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    static JSONObject createLessonObject(JSONObject teacher, JSONObject room) {
+        JSONArray classes = new JSONArray();
+        classes.add(createElement(1L, null));
+        JSONArray teachers = new JSONArray();
+        teachers.add(teacher);
+        JSONArray rooms = new JSONArray();
+        rooms.add(room);
+
+        JSONObject object = new JSONObject();
+        object.put("date", 20200902L);
+        object.put("kl", classes);
+        object.put("te", teachers);
+        object.put("ro", rooms);
+        object.put("startTime", 945L);
+        object.put("endTime", 1030L);
+        object.put("activityType", "Unterricht");
+        return object;
+    }
+
+    @Test
+    public void parsesTeachersAndRoomsFromTheirOwnArrays() {
+        TimeUnitBean bean = TimeUnitBean.parse(createLessonObject(createElement(5L, null), createElement(10L, null)));
+        assertEquals(20200902L, bean.getDate());
+        assertArrayEquals(new Integer[]{1}, bean.getClassIds());
+        assertArrayEquals(new Integer[]{5}, bean.getTeacherIds());
+        assertArrayEquals(new Integer[]{10}, bean.getRoomsIds());
+        assertEquals(945, bean.getStartTime());
+        assertEquals(1030, bean.getEndTime());
+    }
+
+    @Test
+    public void usesTeacherOrgIdOnlyForIdZero() {
+        assertArrayEquals(new Integer[]{7}, TimeUnitBean.parse(createLessonObject(createElement(0L, 7L), createElement(10L, null))).getTeacherIds());
+        assertArrayEquals(new Integer[]{5}, TimeUnitBean.parse(createLessonObject(createElement(5L, 7L), createElement(10L, null))).getTeacherIds());
+        assertArrayEquals(new Integer[]{0}, TimeUnitBean.parse(createLessonObject(createElement(0L, null), createElement(10L, null))).getTeacherIds());
+    }
+
+    @Test
+    public void prefersRoomOrgId() {
+        assertArrayEquals(new Integer[]{11}, TimeUnitBean.parse(createLessonObject(createElement(5L, null), createElement(10L, 11L))).getRoomsIds());
+        assertArrayEquals(new Integer[]{10}, TimeUnitBean.parse(createLessonObject(createElement(5L, null), createElement(10L, 0L))).getRoomsIds());
+    }
+
+    @Test
+    public void parseTeacherUsesResolvedIds() {
+        HashMap<Integer, TeacherBean> teacherMap = new HashMap<>();
+        teacherMap.put(7, new TeacherBean(7, "MU", "Max", "Muster"));
+        TimeUnitBean bean = TimeUnitBean.parse(createLessonObject(createElement(0L, 7L), createElement(10L, null)));
+        assertEquals("Max Muster", TimeUnitBean.parseTeacher(bean, teacherMap));
+    }
+}
@@ -0,0 +1,98 @@
+package untis.utils;
+
+import org.junit.jupiter.api.Test;
+import untis.beans.ClassBean;
+import untis.beans.PostBean;
+import untis.beans.RoomBean;
+import untis.beans.TeacherBean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PostWriterTest {
+
+    private static final long CREATED = 1599039240000L;
+
+    private static PostBean createPost(String className, String longName) {
+        return new PostBean(new ClassBean(1, className, true, longName),
+                List.of(new TeacherBean(2, "MU", "J\u00fcrgen", "M\u00fcller")),
+                List.of(new RoomBean(3, "A101", true, "Raum 101")),
+                "", 745, 830, 20200902, "undefined", CREATED);
+    }
+
+    private static String expectedPost(String classJson, String longNameJson) {
+        return "{\"class\":{\"number\":" + classJson + ",\"name\":" + longNameJson + "}," +
+                "\"teachers\":[\"J\u00fcrgen M\u00fcller\"]," +
+                "\"rooms\":[{\"number\":\"A101\",\"name\":\"Raum 101\"}]," +
+                "\"comment\":\"\",\"start\":745,\"end\":830,\"day\":20200902,\"status\":\"undefined\"," +
+                "\"created\":\"2020-09-02T09:34:00Z\",\"updated\":\"2020-09-02T09:34:00Z\"}";
+    }
+
+    private static String export(PostWriter.Format format, List<PostBean> posts) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PostWriter writer = new PostWriter(Channels.newChannel(out), format)) {
+            for (PostBean post : posts) {
+                writer.write(post);
+            }
+            assertEquals(posts.size(), writer.getCount());
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void writesNdjsonOneDocumentPerLine() throws IOException {
+        String output = export(PostWriter.Format.NDJSON, List.of(createPost("10A", "Klasse A"), createPost("10B", "Klasse B")));
+        assertEquals(expectedPost("\"10A\"", "\"Klasse A\"") + "\n" + expectedPost("\"10B\"", "\"Klasse B\"") + "\n", output);
+    }
+
+    @Test
+    public void writesBulkAsSingleArray() throws IOException {
+        String output = export(PostWriter.Format.BULK, List.of(createPost("10A", "Klasse A"), createPost("10B", "Klasse B")));
+        assertEquals("[" + expectedPost("\"10A\"", "\"Klasse A\"") + "," + expectedPost("\"10B\"", "\"Klasse B\"") + "]", output);
+    }
+
+    @Test
+    public void writesEmptyBulkArray() throws IOException {
+        assertEquals("[]", export(PostWriter.Format.BULK, List.of()));
+    }
+
+    @Test
+    public void escapesSpecialCharacters() throws IOException {
+        String output = export(PostWriter.Format.NDJSON, List.of(createPost("a\"b\\c", "x\ny\rz\tw\u0001")));
+        assertEquals(expectedPost("\"a\\\"b\\\\c\"", "\"x\\ny\\rz\\tw\\u0001\"") + "\n", output);
+    }
+
+    @Test
+    public void encodesSurrogates() throws IOException {
+        String output = export(PostWriter.Format.NDJSON, List.of(createPost("B\u00e4cker \uD83D\uDE00", "a\uD800b\uDC00")));
+        assertEquals(expectedPost("\"B\u00e4cker \uD83D\uDE00\"", "\"a\uFFFDb\uFFFD\"") + "\n", output);
+    }
+
+    @Test
+    public void writesOutputLargerThanBuffer() throws IOException {
+        String longName = "\u00e4\"\uD83D\uDE00\u0001".repeat(20000);
+        String longNameJson = "\"" + "\u00e4\\\"\uD83D\uDE00\\u0001".repeat(20000) + "\"";
+        String output = export(PostWriter.Format.BULK, List.of(createPost("10A", longName), createPost("10B", longName)));
+        assertTrue(output.getBytes(StandardCharsets.UTF_8).length > 64 * 1024 * 2);
+        assertEquals("[" + expectedPost("\"10A\"", longNameJson) + "," + expectedPost("\"10B\"", longNameJson) + "]", output);
+    }
+
+    @Test
+    public void doesNotCloseBulkArrayAfterFailure() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PostWriter writer = new PostWriter(Channels.newChannel(out), PostWriter.Format.BULK);
+        writer.write(createPost("10A", "Klasse A"));
+        assertThrows(NullPointerException.class, () -> writer.write(new PostBean(null, List.of(), List.of(), "", 0, 0, 0, "undefined", CREATED)));
+        assertThrows(IOException.class, () -> writer.write(createPost("10B", "Klasse B")));
+        writer.close();
+        assertFalse(out.toString(StandardCharsets.UTF_8).endsWith("]"));
+    }
+}